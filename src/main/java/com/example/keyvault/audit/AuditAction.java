@@ -0,0 +1,7 @@
+package com.example.keyvault.audit;
+
+public enum AuditAction {
+    READ,
+    WRITE,
+    ROTATE
+}
@@ -0,0 +1,28 @@
+package com.example.keyvault.audit;
+
+/**
+ * Preallocated ring buffer slot. Fields are plain and published by the volatile write to
+ * {@code sequence}; instances are reused and never escape the audit package.
+ */
+final class AuditEvent {
+
+    volatile long sequence;
+
+    long timestampMillis;
+    String caller;
+    AuditAction action;
+    String secretName;
+    String version;
+    AuditOutcome outcome;
+    long latencyNanos;
+
+    AuditEvent(long sequence) {
+        this.sequence = sequence;
+    }
+
+    void clear() {
+        caller = null;
+        secretName = null;
+        version = null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.keyvault.audit;
+
+public enum AuditOutcome {
+    SUCCESS,
+    NOT_FOUND,
+    AUTHENTICATION_FAILED,
+    SHED,
+    ERROR
+}
@@ -0,0 +1,114 @@
+package com.example.keyvault.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer of preallocated {@link AuditEvent}
+ * slots. Each slot carries a sequence number: a producer claims position {@code p} by CAS on the
+ * tail when the slot's sequence equals {@code p}, fills it and publishes {@code p + 1}; the consumer
+ * reads it once it sees {@code p + 1} and hands the slot back by storing {@code p + capacity}.
+ * A full buffer drops the event and counts it instead of blocking the request thread.
+ */
+final class AuditRingBuffer {
+
+    private final AuditEvent[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    // Only touched by the single consumer thread
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AuditEvent[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditEvent(i);
+        }
+    }
+
+    boolean tryPublish(long timestampMillis, String caller, AuditAction action, String secretName,
+                       String version, AuditOutcome outcome, long latencyNanos) {
+        long position = tail.get();
+        while (true) {
+            AuditEvent slot = slots[(int) (position & mask)];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slot.timestampMillis = timestampMillis;
+                    slot.caller = caller;
+                    slot.action = action;
+                    slot.secretName = secretName;
+                    slot.version = version;
+                    slot.outcome = outcome;
+                    slot.latencyNanos = latencyNanos;
+                    slot.sequence = position + 1;
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code maxEvents} published events to {@code handler} in order and releases
+     * their slots. Must only be called from the consumer thread.
+     *
+     * @return the number of events drained
+     */
+    int drain(int maxEvents, Consumer<AuditEvent> handler) {
+        int drained = 0;
+        while (drained < maxEvents) {
+            AuditEvent slot = slots[(int) (head & mask)];
+            if (slot.sequence != head + 1) {
+                break;
+            }
+            handler.accept(slot);
+            slot.clear();
+            slot.sequence = head + slots.length;
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Releases every published event without handing it on and counts it as dropped. Used once the
+     * writer has stopped; subject to the same single-consumer rule as {@link #drain}.
+     *
+     * @return the number of events discarded
+     */
+    int discardAll() {
+        int discarded = drain(Integer.MAX_VALUE, event -> { });
+        dropped.add(discarded);
+        return discarded;
+    }
+
+    void countDropped() {
+        dropped.increment();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long publishedCount() {
+        return tail.get();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    long backlog() {
+        return tail.get() - head;
+    }
+}
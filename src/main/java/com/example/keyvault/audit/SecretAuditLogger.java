@@ -0,0 +1,271 @@
+package com.example.keyvault.audit;
+
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Secret-access audit log. Request threads only claim a ring buffer slot and copy a few references
+ * into it; a single background writer drains events in batches, appends them to a size-rotated
+ * local file and fsyncs once per batch. When the buffer is full events are dropped and counted.
+ */
+@Component
+public class SecretAuditLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretAuditLogger.class);
+
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String MISSING_FIELD = "-";
+
+    private final AzureKeyVaultProperties.Audit settings;
+    private final AuditRingBuffer ringBuffer;
+    private final Path file;
+    private final long maxFileBytes;
+    private final long flushIntervalNanos;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+
+    // Writer thread state
+    private final StringBuilder batch = new StringBuilder();
+    private FileChannel channel;
+    private long fileSize;
+    private boolean writeFailing;
+    private boolean rotationFailing;
+
+    private volatile boolean running;
+    private volatile boolean writerFinished;
+    private Thread writer;
+
+    public SecretAuditLogger(AzureKeyVaultProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getAudit();
+        this.ringBuffer = new AuditRingBuffer(settings.getBufferSize());
+        this.file = Paths.get(settings.getDirectory(), settings.getFileName());
+        this.maxFileBytes = settings.getMaxFileSize().toBytes();
+        this.flushIntervalNanos = settings.getFlushInterval().toNanos();
+
+        FunctionCounter.builder("keyvault.audit.published", ringBuffer, AuditRingBuffer::publishedCount)
+                .description("Audit events accepted into the ring buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("keyvault.audit.dropped", ringBuffer, AuditRingBuffer::droppedCount)
+                .description("Audit events dropped because the ring buffer was full or the writer had stopped")
+                .register(meterRegistry);
+        FunctionCounter.builder("keyvault.audit.written", written, AtomicLong::get)
+                .description("Audit events written and synced to the audit file")
+                .register(meterRegistry);
+        FunctionCounter.builder("keyvault.audit.lost", lost, AtomicLong::get)
+                .description("Audit events lost to audit file write failures")
+                .register(meterRegistry);
+        Gauge.builder("keyvault.audit.backlog", ringBuffer, AuditRingBuffer::backlog)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!settings.isEnabled()) {
+            logger.info("Secret audit log disabled");
+            return;
+        }
+        openFile();
+        running = true;
+        writer = new Thread(this::runWriter, "secret-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Secret audit log writing to {} (buffer capacity {})", file.toAbsolutePath(), ringBuffer.capacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        // The writer closes the file itself once it has drained the buffer
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (writer.isAlive()) {
+            logger.warn("Secret audit writer did not finish within 5s; {} events may be unwritten", ringBuffer.backlog());
+        }
+        logger.info("Secret audit log stopped: {} published, {} written, {} dropped, {} lost",
+                ringBuffer.publishedCount(), written.get(), ringBuffer.droppedCount(), lost.get());
+    }
+
+    /**
+     * Records a secret access. Never blocks and never allocates beyond the caller's arguments; if the
+     * buffer is full, or the writer has been stopped, the event is dropped and counted in
+     * keyvault.audit.dropped.
+     */
+    public void record(String caller, AuditAction action, String secretName, String version,
+                       AuditOutcome outcome, long latencyNanos) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        if (!running) {
+            ringBuffer.countDropped();
+            return;
+        }
+        if (ringBuffer.tryPublish(System.currentTimeMillis(), caller, action, secretName, version, outcome, latencyNanos)
+                && !running && writerFinished) {
+            // Published after the writer's final drain, so nobody else will account for it
+            discardRemaining();
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            if (writeBatch() == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        // Drain whatever was published before shutdown
+        while (writeBatch() > 0) {
+            // keep draining
+        }
+        closeFile();
+        // Producers that passed the running check before shutdown may still publish; from here on
+        // their events are counted as dropped, either below or by the producer itself
+        writerFinished = true;
+        discardRemaining();
+    }
+
+    private synchronized void discardRemaining() {
+        int discarded = ringBuffer.discardAll();
+        if (discarded > 0) {
+            logger.debug("Discarded {} audit events published after the writer stopped", discarded);
+        }
+    }
+
+    private int writeBatch() {
+        batch.setLength(0);
+        int count = ringBuffer.drain(settings.getBatchSize(), this::append);
+        if (count == 0) {
+            return 0;
+        }
+
+        try {
+            if (channel == null) {
+                openFile();
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+            fileSize = channel.size();
+        } catch (IOException e) {
+            lost.addAndGet(count);
+            if (!writeFailing) {
+                writeFailing = true;
+                logger.error("Failed to write secret audit log {}", file, e);
+            }
+            // The next batch reopens the file
+            closeFile();
+            return count;
+        }
+        written.addAndGet(count);
+        if (writeFailing) {
+            writeFailing = false;
+            logger.info("Secret audit log {} is writable again", file);
+        }
+
+        if (fileSize >= maxFileBytes) {
+            try {
+                rotate();
+                rotationFailing = false;
+            } catch (IOException e) {
+                // Already-synced events are safe; keep appending and retry rotation after the next batch
+                if (!rotationFailing) {
+                    rotationFailing = true;
+                    logger.warn("Failed to rotate secret audit log {}", file, e);
+                }
+                closeFile();
+            }
+        }
+        return count;
+    }
+
+    private void append(AuditEvent event) {
+        batch.append(Instant.ofEpochMilli(event.timestampMillis)).append(FIELD_SEPARATOR);
+        appendSanitized(event.caller);
+        batch.append(FIELD_SEPARATOR).append(event.action).append(FIELD_SEPARATOR);
+        appendSanitized(event.secretName);
+        batch.append(FIELD_SEPARATOR);
+        appendSanitized(event.version);
+        batch.append(FIELD_SEPARATOR).append(event.outcome)
+                .append(FIELD_SEPARATOR).append(TimeUnit.NANOSECONDS.toMicros(event.latencyNanos))
+                .append('\n');
+    }
+
+    // Secret names come straight from the request path; keep one event per line
+    private void appendSanitized(String value) {
+        if (value == null || value.isEmpty()) {
+            batch.append(MISSING_FIELD);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            batch.append(Character.isISOControl(c) ? '_' : c);
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeFile();
+        for (int i = settings.getMaxFiles() - 1; i >= 1; i--) {
+            Path source = rotatedFile(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotatedFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (settings.getMaxFiles() > 0) {
+            Files.move(file, rotatedFile(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        openFile();
+    }
+
+    private Path rotatedFile(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void openFile() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void closeFile() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close secret audit log {}", file, e);
+        }
+        channel = null;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.keyvault.client;
 
+import com.azure.core.credential.AccessToken;
+import com.azure.core.credential.TokenRequestContext;
 import com.azure.core.exception.ClientAuthenticationException;
 import com.azure.core.exception.ResourceNotFoundException;
+import com.azure.core.http.HttpClient;
 import com.azure.identity.ClientSecretCredential;
 import com.azure.identity.ClientSecretCredentialBuilder;
 import com.azure.security.keyvault.secrets.SecretClient;
@@ -11,6 +14,7 @@ import com.example.keyvault.config.AzureKeyVaultProperties;
 import com.example.keyvault.exception.AuthenticationFailedException;
 import com.example.keyvault.exception.SecretNotFoundException;
 import com.example.keyvault.exception.SecretRetrievalException;
+import com.example.keyvault.exception.SecretUpdateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -19,27 +23,37 @@ import org.springframework.stereotype.Component;
 public class AzureKeyVaultClient {
 
     private static final Logger logger = LoggerFactory.getLogger(AzureKeyVaultClient.class);
+
+    private static final String VAULT_SCOPE = "https://vault.azure.net/.default";
     
     private final SecretClient secretClient;
     private final AzureKeyVaultProperties properties;
+    private final HttpClient httpClient;
 
     public AzureKeyVaultProperties getProperties() {
         return this.properties;
     }
 
-    public AzureKeyVaultClient(AzureKeyVaultProperties properties) {
+    public HttpClient getHttpClient() {
+        return this.httpClient;
+    }
+
+    public AzureKeyVaultClient(AzureKeyVaultProperties properties, HttpClient keyVaultHttpClient) {
         logger.info("Initializing Azure Key Vault client for vault: {}", properties.getVaultUrl());
         this.properties = properties;
+        this.httpClient = keyVaultHttpClient;
         try {
             ClientSecretCredential credential = new ClientSecretCredentialBuilder()
                     .clientId(properties.getClientId())
                     .clientSecret(properties.getClientSecret())
                     .tenantId(properties.getTenantId())
+                    .httpClient(keyVaultHttpClient)
                     .build();
 
             this.secretClient = new SecretClientBuilder()
                     .vaultUrl(properties.getVaultUrl())
                     .credential(credential)
+                    .httpClient(keyVaultHttpClient)
                     .buildClient();
                     
             logger.info("Azure Key Vault client initialized successfully");
@@ -54,12 +68,16 @@ public class AzureKeyVaultClient {
     }
 
     public String getSecret(String secretName) {
+        return fetchSecret(secretName).getValue();
+    }
+
+    public KeyVaultSecret fetchSecret(String secretName) {
         logger.debug("Retrieving secret: {}", secretName);
         
         try {
             KeyVaultSecret secret = secretClient.getSecret(secretName);
             logger.debug("Successfully retrieved secret: {}", secretName);
-            return secret.getValue();
+            return secret;
             
         } catch (ClientAuthenticationException e) {
             logger.error("Authentication failed while retrieving secret: {}", secretName, e);
@@ -86,4 +104,57 @@ public class AzureKeyVaultClient {
             );
         }
     }
+
+    public KeyVaultSecret setSecret(String secretName, String value) {
+        logger.debug("Setting secret: {}", secretName);
+        
+        try {
+            KeyVaultSecret secret = secretClient.setSecret(secretName, value);
+            logger.debug("Successfully set secret: {} (version {})", secretName, secret.getProperties().getVersion());
+            return secret;
+            
+        } catch (ClientAuthenticationException e) {
+            logger.error("Authentication failed while setting secret: {}", secretName, e);
+            throw new AuthenticationFailedException(
+                "Authentication failed for secret: " + secretName, 
+                e, 
+                secretName
+            );
+            
+        } catch (Exception e) {
+            logger.error("Failed to set secret: {}", secretName, e);
+            throw new SecretUpdateException(
+                "Failed to set secret: " + secretName + ". Error: " + e.getMessage(), 
+                e, 
+                secretName
+            );
+        }
+    }
+
+    /**
+     * Requests a new Key Vault access token from AAD through a throwaway credential. The shared
+     * credential answers from its token cache for most of the token's lifetime, so only a fresh
+     * credential shows whether AAD still issues tokens for this client.
+     */
+    public AccessToken requestFreshToken() {
+        ClientSecretCredential probeCredential = new ClientSecretCredentialBuilder()
+                .clientId(properties.getClientId())
+                .clientSecret(properties.getClientSecret())
+                .tenantId(properties.getTenantId())
+                .httpClient(httpClient)
+                .build();
+        return probeCredential.getTokenSync(new TokenRequestContext().addScopes(VAULT_SCOPE));
+    }
+
+    /**
+     * Issues a single lightweight read against the vault. A missing probe secret still proves the
+     * vault is reachable and accepts our token, so it is not treated as a failure.
+     */
+    public void probeVault(String probeSecretName) {
+        try {
+            secretClient.getSecret(probeSecretName);
+        } catch (ResourceNotFoundException e) {
+            logger.trace("Probe secret {} not found; vault is reachable", probeSecretName);
+        }
+    }
 }
\ No newline at end of file
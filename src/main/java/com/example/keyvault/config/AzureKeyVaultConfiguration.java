@@ -1,26 +1,85 @@
 package com.example.keyvault.config;
 
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
+import io.netty.resolver.DefaultAddressResolverGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 @EnableConfigurationProperties(AzureKeyVaultProperties.class)
+@EnableScheduling
 @ConditionalOnProperty(prefix = "azure.keyvault", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class AzureKeyVaultConfiguration {
 
     private static final Logger logger = LoggerFactory.getLogger(AzureKeyVaultConfiguration.class);
 
-    public AzureKeyVaultConfiguration(AzureKeyVaultProperties properties) {
+    private static final String CONNECTION_POOL_NAME = "keyvault";
+
+    public AzureKeyVaultConfiguration(AzureKeyVaultProperties properties, ServerProperties serverProperties) {
         logger.info("Azure Key Vault configuration enabled for vault: {}", properties.getVaultUrl());
         
         // Validate configuration at startup
-        validateConfiguration(properties);
+        validateConfiguration(properties, serverProperties.getTomcat().getThreads().getMax());
+    }
+
+    /**
+     * Connection pool shared by all Key Vault and AAD traffic. With metrics enabled, reactor-netty
+     * publishes the reactor.netty.connection.provider.* gauges (total, active, idle, pending) tagged
+     * with name=keyvault to the global Micrometer registry.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider keyVaultConnectionProvider(AzureKeyVaultProperties properties) {
+        AzureKeyVaultProperties.Http http = properties.getHttp();
+        logger.info("Creating Key Vault connection pool: maxConnections={}, maxIdleTime={}, maxLifeTime={}",
+                http.getMaxConnections(), http.getMaxIdleTime(), http.getMaxLifeTime());
+
+        return ConnectionProvider.builder(CONNECTION_POOL_NAME)
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireMaxCount(http.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                .maxIdleTime(http.getMaxIdleTime())
+                .maxLifeTime(http.getMaxLifeTime())
+                .evictInBackground(http.getEvictionInterval())
+                .metrics(http.isMetricsEnabled())
+                .build();
     }
 
-    private void validateConfiguration(AzureKeyVaultProperties properties) {
+    /**
+     * Single HTTP client reused by every SecretClient and credential in the application, so
+     * connections and TLS sessions are kept alive across requests instead of being re-established.
+     */
+    @Bean
+    public HttpClient keyVaultHttpClient(AzureKeyVaultProperties properties, ConnectionProvider keyVaultConnectionProvider) {
+        AzureKeyVaultProperties.Http http = properties.getHttp();
+
+        NettyAsyncHttpClientBuilder builder;
+        if (http.isHttp2Enabled()) {
+            // A prebuilt client bypasses the builder's defaults, so keep DNS on the JVM resolver like the SDK does
+            builder = new NettyAsyncHttpClientBuilder(reactor.netty.http.client.HttpClient.create(keyVaultConnectionProvider)
+                    .resolver(DefaultAddressResolverGroup.INSTANCE)
+                    .protocol(HttpProtocol.H2, HttpProtocol.HTTP11));
+        } else {
+            builder = new NettyAsyncHttpClientBuilder().connectionProvider(keyVaultConnectionProvider);
+        }
+
+        return builder
+                .connectTimeout(http.getConnectTimeout())
+                .readTimeout(http.getReadTimeout())
+                .writeTimeout(http.getWriteTimeout())
+                .responseTimeout(http.getResponseTimeout())
+                .build();
+    }
+
+    private void validateConfiguration(AzureKeyVaultProperties properties, int serverMaxThreads) {
         if (properties.getClientId() == null || properties.getClientId().trim().isEmpty()) {
             throw new IllegalArgumentException("Azure Key Vault client ID is required");
         }
@@ -33,7 +92,30 @@ public class AzureKeyVaultConfiguration {
         if (properties.getVaultUrl() == null || properties.getVaultUrl().trim().isEmpty()) {
             throw new IllegalArgumentException("Azure Key Vault URL is required");
         }
+        if (properties.getHttp().getMaxConnections() <= 0) {
+            throw new IllegalArgumentException("Azure Key Vault HTTP max connections must be positive");
+        }
+        AzureKeyVaultProperties.Admission admission = properties.getAdmission();
+        if (admission.getMinLimit() < 1 || admission.getMaxLimit() < admission.getMinLimit()) {
+            throw new IllegalArgumentException("Azure Key Vault admission limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        if (admission.getBackoffRatio() <= 0 || admission.getBackoffRatio() >= 1) {
+            throw new IllegalArgumentException("Azure Key Vault admission backoff ratio must be between 0 and 1");
+        }
+        if (admission.getWriteWaitTimeout().isNegative() || admission.getWriteWaitTimeout().isZero()) {
+            throw new IllegalArgumentException("Azure Key Vault admission write-wait-timeout must be positive");
+        }
+        // Admitted calls beyond the pool size only queue for a connection, and a limit near the
+        // request thread count would let stuck Key Vault calls starve every other endpoint again
+        if (admission.getMaxLimit() > properties.getHttp().getMaxConnections()) {
+            throw new IllegalArgumentException("Azure Key Vault admission max-limit (" + admission.getMaxLimit()
+                    + ") must not exceed http.max-connections (" + properties.getHttp().getMaxConnections() + ")");
+        }
+        if (admission.getMaxLimit() > serverMaxThreads / 2) {
+            throw new IllegalArgumentException("Azure Key Vault admission max-limit (" + admission.getMaxLimit()
+                    + ") must be at most half of server.tomcat.threads.max (" + serverMaxThreads + ")");
+        }
         
         logger.info("Azure Key Vault configuration validation passed");
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,11 @@ package com.example.keyvault.config;
 
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "azure.keyvault")
 @Validated
 public class AzureKeyVaultProperties {
@@ -22,6 +25,16 @@ public class AzureKeyVaultProperties {
 
     private boolean enabled = true;
 
+    private final Http http = new Http();
+
+    private final Admission admission = new Admission();
+
+    private final Cache cache = new Cache();
+
+    private final Health health = new Health();
+
+    private final Audit audit = new Audit();
+
     // Getters and setters
     public String getClientId() {
         return clientId;
@@ -62,4 +75,414 @@ public class AzureKeyVaultProperties {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Health getHealth() {
+        return health;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    /**
+     * Settings for the HTTP client and connection pool shared by every SecretClient.
+     */
+    public static class Http {
+
+        private int maxConnections = 50;
+
+        private int pendingAcquireMaxCount = 500;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        private Duration maxIdleTime = Duration.ofSeconds(60);
+
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        private Duration readTimeout = Duration.ofSeconds(30);
+
+        private Duration writeTimeout = Duration.ofSeconds(30);
+
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
+        private boolean http2Enabled = false;
+
+        private boolean metricsEnabled = true;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
+        public boolean isHttp2Enabled() {
+            return http2Enabled;
+        }
+
+        public void setHttp2Enabled(boolean http2Enabled) {
+            this.http2Enabled = http2Enabled;
+        }
+
+        public boolean isMetricsEnabled() {
+            return metricsEnabled;
+        }
+
+        public void setMetricsEnabled(boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+        }
+    }
+
+    /**
+     * Settings for the adaptive (AIMD) concurrency limit placed in front of Key Vault calls.
+     */
+    public static class Admission {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 50;
+
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        private double backoffRatio = 0.9;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        private Duration writeWaitTimeout = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getWriteWaitTimeout() {
+            return writeWaitTimeout;
+        }
+
+        public void setWriteWaitTimeout(Duration writeWaitTimeout) {
+            this.writeWaitTimeout = writeWaitTimeout;
+        }
+    }
+
+    /**
+     * Settings for the local secret cache kept coherent by write-through updates.
+     */
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        private Duration ttl = Duration.ofSeconds(15);
+
+        private int maxEntries = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * Settings for the background Key Vault health probe.
+     */
+    public static class Health {
+
+        private boolean enabled = true;
+
+        private Duration probeInterval = Duration.ofSeconds(30);
+
+        private Duration tokenProbeInterval = Duration.ofMinutes(5);
+
+        private String probeSecretName = "health-probe";
+
+        private Duration degradedLatency = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getProbeInterval() {
+            return probeInterval;
+        }
+
+        public void setProbeInterval(Duration probeInterval) {
+            this.probeInterval = probeInterval;
+        }
+
+        public Duration getTokenProbeInterval() {
+            return tokenProbeInterval;
+        }
+
+        public void setTokenProbeInterval(Duration tokenProbeInterval) {
+            this.tokenProbeInterval = tokenProbeInterval;
+        }
+
+        public String getProbeSecretName() {
+            return probeSecretName;
+        }
+
+        public void setProbeSecretName(String probeSecretName) {
+            this.probeSecretName = probeSecretName;
+        }
+
+        public Duration getDegradedLatency() {
+            return degradedLatency;
+        }
+
+        public void setDegradedLatency(Duration degradedLatency) {
+            this.degradedLatency = degradedLatency;
+        }
+    }
+
+    /**
+     * Settings for the asynchronous secret-access audit log.
+     */
+    public static class Audit {
+
+        private boolean enabled = true;
+
+        private String directory = "logs";
+
+        private String fileName = "secret-audit.log";
+
+        private int bufferSize = 8192;
+
+        private int batchSize = 256;
+
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        private DataSize maxFileSize = DataSize.ofMegabytes(10);
+
+        private int maxFiles = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public DataSize getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(DataSize maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getMaxFiles() {
+            return maxFiles;
+        }
+
+        public void setMaxFiles(int maxFiles) {
+            this.maxFiles = maxFiles;
+        }
+    }
 }
\ No newline at end of file
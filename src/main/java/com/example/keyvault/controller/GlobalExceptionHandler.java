@@ -3,13 +3,21 @@ package com.example.keyvault.controller;
 import com.example.keyvault.exception.AuthenticationFailedException;
 import com.example.keyvault.exception.KeyVaultException;
 import com.example.keyvault.exception.SecretNotFoundException;
+import com.example.keyvault.exception.ServiceOverloadedException;
 import com.example.keyvault.model.SecretResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -30,6 +38,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<SecretResponse> handleServiceOverloaded(ServiceOverloadedException e) {
+        logger.debug("Service overloaded: {}", e.getMessage());
+        SecretResponse response = SecretResponse.error(e.getSecretName(), "Service overloaded");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler(KeyVaultException.class)
     public ResponseEntity<SecretResponse> handleKeyVaultException(KeyVaultException e) {
         logger.error("Key Vault error: {}", e.getMessage());
@@ -37,10 +54,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<SecretResponse> handleValidationFailed(MethodArgumentNotValidException e, HttpServletRequest request) {
+        String message = e.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        logger.warn("Invalid request: {}", message);
+        SecretResponse response = SecretResponse.error(pathSecretName(request), "Invalid request: " + message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<SecretResponse> handleGenericException(Exception e) {
         logger.error("Unexpected error: {}", e.getMessage(), e);
         SecretResponse response = SecretResponse.error("unknown", "Internal server error");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
+
+    private static String pathSecretName(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("name") != null) {
+            return map.get("name").toString();
+        }
+        return "unknown";
+    }
 }
\ No newline at end of file
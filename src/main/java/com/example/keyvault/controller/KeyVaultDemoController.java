@@ -1,9 +1,17 @@
 package com.example.keyvault.controller;
 
+import com.azure.security.keyvault.secrets.models.KeyVaultSecret;
+import com.example.keyvault.audit.AuditAction;
+import com.example.keyvault.audit.AuditOutcome;
+import com.example.keyvault.audit.SecretAuditLogger;
 import com.example.keyvault.exception.AuthenticationFailedException;
 import com.example.keyvault.exception.SecretNotFoundException;
+import com.example.keyvault.exception.ServiceOverloadedException;
+import com.example.keyvault.health.KeyVaultHealthProbe;
 import com.example.keyvault.model.SecretResponse;
+import com.example.keyvault.model.SetSecretRequest;
 import com.example.keyvault.service.KeyVaultService;
+import com.example.keyvault.service.SecretCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,8 +19,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,9 +36,14 @@ public class KeyVaultDemoController {
     private static final Logger logger = LoggerFactory.getLogger(KeyVaultDemoController.class);
     
     private final KeyVaultService keyVaultService;
+    private final KeyVaultHealthProbe healthProbe;
+    private final SecretAuditLogger auditLogger;
 
-    public KeyVaultDemoController(KeyVaultService keyVaultService) {
+    public KeyVaultDemoController(KeyVaultService keyVaultService, KeyVaultHealthProbe healthProbe,
+                                  SecretAuditLogger auditLogger) {
         this.keyVaultService = keyVaultService;
+        this.healthProbe = healthProbe;
+        this.auditLogger = auditLogger;
     }
 
     @Operation(
@@ -66,34 +82,60 @@ public class KeyVaultDemoController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = SecretResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Key Vault concurrency limit reached - retry after the Retry-After interval",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
         )
     })
     @GetMapping("/secret/{name}")
     public ResponseEntity<SecretResponse> getSecret(
             @Parameter(description = "Name of the secret to retrieve from Azure Key Vault", required = true, example = "database-password")
-            @PathVariable String name) {
-        logger.info("Received request to retrieve secret: {}", name);
+            @PathVariable String name,
+            HttpServletRequest httpRequest) {
+        logger.debug("Received request to retrieve secret: {}", name);
+        long start = System.nanoTime();
+        AuditOutcome outcome = AuditOutcome.ERROR;
+        String version = null;
         
         try {
-            String secretValue = keyVaultService.retrieveSecret(name);
-            SecretResponse response = SecretResponse.success(name, secretValue);
-            logger.info("Successfully returned secret: {}", name);
+            SecretCache.CachedSecret secret = keyVaultService.lookupSecret(name);
+            version = secret.version();
+            outcome = AuditOutcome.SUCCESS;
+            SecretResponse response = SecretResponse.success(name, secret.value(), version);
             return ResponseEntity.ok(response);
             
         } catch (AuthenticationFailedException e) {
+            outcome = AuditOutcome.AUTHENTICATION_FAILED;
             logger.error("Authentication failed for secret: {}", name, e);
             SecretResponse response = SecretResponse.error(name, "Authentication failed: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             
         } catch (SecretNotFoundException e) {
+            outcome = AuditOutcome.NOT_FOUND;
             logger.error("Secret not found: {}", name, e);
             SecretResponse response = SecretResponse.error(name, "Secret not found: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             
+        } catch (ServiceOverloadedException e) {
+            outcome = AuditOutcome.SHED;
+            logger.debug("Request shed for secret: {}", name);
+            SecretResponse response = SecretResponse.error(name, "Service overloaded: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
+            
         } catch (Exception e) {
             logger.error("Internal error retrieving secret: {}", name, e);
             SecretResponse response = SecretResponse.error(name, "Internal server error: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            
+        } finally {
+            auditLogger.record(caller(httpRequest), AuditAction.READ, name, version, outcome, System.nanoTime() - start);
         }
     }
 
@@ -101,7 +143,8 @@ public class KeyVaultDemoController {
         summary = "Retrieve a secret from Azure Key Vault (V0 - Direct SDK call)",
         description = "Alternative endpoint that creates a new SecretClient for each request. " +
                 "This is the V0 implementation that doesn't use the cached client. " +
-                "Use this for testing or when you need a fresh connection."
+                "HTTP connections still come from the shared connection pool. " +
+                "Use this for testing or when you need a fresh credential."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -135,50 +178,252 @@ public class KeyVaultDemoController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = SecretResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Key Vault concurrency limit reached - retry after the Retry-After interval",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
         )
     })
     @GetMapping("/secret/v0/{name}")
     public ResponseEntity<SecretResponse> getSecretV0(
             @Parameter(description = "Name of the secret to retrieve from Azure Key Vault", required = true, example = "database-password")
-            @PathVariable String name) {
-        logger.info("Received V0 request to retrieve secret: {}", name);
+            @PathVariable String name,
+            HttpServletRequest httpRequest) {
+        logger.debug("Received V0 request to retrieve secret: {}", name);
+        long start = System.nanoTime();
+        AuditOutcome outcome = AuditOutcome.ERROR;
         
         try {
             String secretValue = keyVaultService.getSecretV0(name);
+            outcome = AuditOutcome.SUCCESS;
             SecretResponse response = SecretResponse.success(name, secretValue);
-            logger.info("Successfully returned secret (V0): {}", name);
             return ResponseEntity.ok(response);
             
         } catch (AuthenticationFailedException e) {
+            outcome = AuditOutcome.AUTHENTICATION_FAILED;
             logger.error("Authentication failed for secret (V0): {}", name, e);
             SecretResponse response = SecretResponse.error(name, "Authentication failed: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             
         } catch (SecretNotFoundException e) {
+            outcome = AuditOutcome.NOT_FOUND;
             logger.error("Secret not found (V0): {}", name, e);
             SecretResponse response = SecretResponse.error(name, "Secret not found: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             
+        } catch (ServiceOverloadedException e) {
+            outcome = AuditOutcome.SHED;
+            logger.debug("Request shed for secret (V0): {}", name);
+            SecretResponse response = SecretResponse.error(name, "Service overloaded: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
+            
         } catch (Exception e) {
             logger.error("Internal error retrieving secret (V0): {}", name, e);
             SecretResponse response = SecretResponse.error(name, "Internal server error: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            
+        } finally {
+            auditLogger.record(caller(httpRequest), AuditAction.READ, name, null, outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Operation(
+        summary = "Set a secret in Azure Key Vault",
+        description = "Writes a new version of the secret and updates the local cache with it, so subsequent reads " +
+                "are served the new value without another call to Key Vault. Rapid successive writes to the same " +
+                "name are coalesced; the last value submitted wins. The response carries the resulting version, not the value."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Secret set successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Authentication failed - Invalid service principal credentials",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Key Vault concurrency limit reached - retry after the Retry-After interval",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        )
+    })
+    @PutMapping("/secret/{name}")
+    public ResponseEntity<SecretResponse> setSecret(
+            @Parameter(description = "Name of the secret to set in Azure Key Vault", required = true, example = "database-password")
+            @PathVariable String name,
+            @Valid @RequestBody SetSecretRequest request,
+            HttpServletRequest httpRequest) {
+        logger.debug("Received request to set secret: {}", name);
+        long start = System.nanoTime();
+        AuditOutcome outcome = AuditOutcome.ERROR;
+        String version = null;
+        
+        try {
+            KeyVaultSecret secret = keyVaultService.setSecret(name, request.getValue());
+            version = secret.getProperties().getVersion();
+            outcome = AuditOutcome.SUCCESS;
+            SecretResponse response = SecretResponse.updated(name, version);
+            return ResponseEntity.ok(response);
+            
+        } catch (AuthenticationFailedException e) {
+            outcome = AuditOutcome.AUTHENTICATION_FAILED;
+            logger.error("Authentication failed while setting secret: {}", name, e);
+            SecretResponse response = SecretResponse.error(name, "Authentication failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            
+        } catch (ServiceOverloadedException e) {
+            outcome = AuditOutcome.SHED;
+            logger.debug("Request shed setting secret: {}", name);
+            SecretResponse response = SecretResponse.error(name, "Service overloaded: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
+            
+        } catch (Exception e) {
+            logger.error("Internal error setting secret: {}", name, e);
+            SecretResponse response = SecretResponse.error(name, "Internal server error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            
+        } finally {
+            auditLogger.record(caller(httpRequest), AuditAction.WRITE, name, version, outcome, System.nanoTime() - start);
+        }
+    }
+
+    @Operation(
+        summary = "Rotate a secret in Azure Key Vault",
+        description = "Generates a new random value for the secret, writes it as a new version and updates the local cache."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Secret rotated successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Authentication failed - Invalid service principal credentials",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Key Vault concurrency limit reached - retry after the Retry-After interval",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SecretResponse.class)
+            )
+        )
+    })
+    @PostMapping("/secret/{name}/rotate")
+    public ResponseEntity<SecretResponse> rotateSecret(
+            @Parameter(description = "Name of the secret to rotate in Azure Key Vault", required = true, example = "database-password")
+            @PathVariable String name,
+            HttpServletRequest httpRequest) {
+        logger.debug("Received request to rotate secret: {}", name);
+        long start = System.nanoTime();
+        AuditOutcome outcome = AuditOutcome.ERROR;
+        String version = null;
+        
+        try {
+            KeyVaultSecret secret = keyVaultService.rotateSecret(name);
+            version = secret.getProperties().getVersion();
+            outcome = AuditOutcome.SUCCESS;
+            SecretResponse response = SecretResponse.success(name, secret.getValue(), version);
+            return ResponseEntity.ok(response);
+            
+        } catch (AuthenticationFailedException e) {
+            outcome = AuditOutcome.AUTHENTICATION_FAILED;
+            logger.error("Authentication failed while rotating secret: {}", name, e);
+            SecretResponse response = SecretResponse.error(name, "Authentication failed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            
+        } catch (ServiceOverloadedException e) {
+            outcome = AuditOutcome.SHED;
+            logger.debug("Request shed rotating secret: {}", name);
+            SecretResponse response = SecretResponse.error(name, "Service overloaded: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
+            
+        } catch (Exception e) {
+            logger.error("Internal error rotating secret: {}", name, e);
+            SecretResponse response = SecretResponse.error(name, "Internal server error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            
+        } finally {
+            auditLogger.record(caller(httpRequest), AuditAction.ROTATE, name, version, outcome, System.nanoTime() - start);
         }
     }
 
     @Operation(
         summary = "Health check endpoint",
-        description = "Checks if the Azure Key Vault integration service is running"
+        description = "Reports the Key Vault status observed by the last background probe. " +
+                "Answered from cached state; never calls Key Vault or AAD."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Service is healthy and running",
+            description = "Service is running and Key Vault is up, degraded, or not yet probed",
+            content = @Content(mediaType = "text/plain")
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Key Vault or AAD is unreachable, or the probe has stalled",
             content = @Content(mediaType = "text/plain")
         )
     })
     @GetMapping("/health")
     public ResponseEntity<String> health() {
-        return ResponseEntity.ok("Azure Key Vault integration is running");
+        KeyVaultHealthProbe.ProbeResult result = healthProbe.getLastResult();
+        String body = "Azure Key Vault integration is running - Key Vault " + result.status();
+        if (result.status() == KeyVaultHealthProbe.ProbeStatus.DOWN) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    private static String caller(HttpServletRequest httpRequest) {
+        return httpRequest.getUserPrincipal() != null
+                ? httpRequest.getUserPrincipal().getName()
+                : httpRequest.getRemoteAddr();
     }
 }
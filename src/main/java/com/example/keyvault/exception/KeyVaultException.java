@@ -30,6 +30,7 @@ public class KeyVaultException extends RuntimeException {
         SECRET_NOT_FOUND,
         NETWORK_ERROR,
         CONFIGURATION_ERROR,
+        SERVICE_OVERLOADED,
         UNKNOWN_ERROR
     }
 }
\ No newline at end of file
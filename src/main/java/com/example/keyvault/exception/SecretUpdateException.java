@@ -0,0 +1,12 @@
+package com.example.keyvault.exception;
+
+public class SecretUpdateException extends KeyVaultException {
+
+    public SecretUpdateException(String message, String secretName) {
+        super(message, secretName, ErrorCode.UNKNOWN_ERROR);
+    }
+
+    public SecretUpdateException(String message, Throwable cause, String secretName) {
+        super(message, cause, secretName, ErrorCode.UNKNOWN_ERROR);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.keyvault.exception;
+
+public class ServiceOverloadedException extends KeyVaultException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, String secretName, long retryAfterSeconds) {
+        super(message, secretName, ErrorCode.SERVICE_OVERLOADED);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.keyvault.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the cached result of {@link KeyVaultHealthProbe}; building the response is constant time.
+ * Exposed as the "keyVault" component, which the readiness group includes and liveness does not.
+ */
+@Component("keyVault")
+public class KeyVaultHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Key Vault is slow or throttling requests");
+
+    private final KeyVaultHealthProbe healthProbe;
+
+    public KeyVaultHealthIndicator(KeyVaultHealthProbe healthProbe) {
+        this.healthProbe = healthProbe;
+    }
+
+    @Override
+    public Health health() {
+        KeyVaultHealthProbe.ProbeResult result = healthProbe.getLastResult();
+        Health.Builder builder = Health.status(toStatus(result.status()))
+                .withDetail("tokenLatencyMs", result.tokenLatencyMs())
+                .withDetail("vaultLatencyMs", result.vaultLatencyMs());
+        if (result.checkedAt() != null) {
+            builder.withDetail("checkedAt", result.checkedAt().toString());
+        }
+        if (result.error() != null) {
+            builder.withDetail("error", result.error());
+        }
+        return builder.build();
+    }
+
+    private static Status toStatus(KeyVaultHealthProbe.ProbeStatus status) {
+        return switch (status) {
+            case UP -> Status.UP;
+            case DEGRADED -> DEGRADED;
+            case DOWN -> Status.DOWN;
+            case UNKNOWN -> Status.UNKNOWN;
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.keyvault.health;
+
+import com.azure.core.exception.ClientAuthenticationException;
+import com.azure.core.exception.HttpResponseException;
+import com.example.keyvault.client.AzureKeyVaultClient;
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Probes Key Vault and AAD token acquisition on fixed background schedules and keeps the last
+ * result, so health and readiness checks are answered from memory and never call upstream.
+ *
+ * <p>The vault probe goes through the shared credential and runs every {@code probe-interval}.
+ * The token probe requests an uncached token every {@code token-probe-interval}; when it fails
+ * while the vault still answers, the status is {@link ProbeStatus#DEGRADED}, since the cached
+ * token will stop working once it expires.
+ */
+@Component
+public class KeyVaultHealthProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyVaultHealthProbe.class);
+
+    private static final int THROTTLED_STATUS = 429;
+
+    private final AzureKeyVaultClient keyVaultClient;
+    private final AzureKeyVaultProperties.Health settings;
+    private final TaskScheduler taskScheduler;
+
+    private volatile ProbeResult lastResult = ProbeResult.unknown();
+    private volatile TokenCheck lastTokenCheck;
+    private ScheduledFuture<?> tokenSchedule;
+    private ScheduledFuture<?> schedule;
+
+    public KeyVaultHealthProbe(AzureKeyVaultClient keyVaultClient, AzureKeyVaultProperties properties,
+                               TaskScheduler taskScheduler) {
+        this.keyVaultClient = keyVaultClient;
+        this.settings = properties.getHealth();
+        this.taskScheduler = taskScheduler;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled()) {
+            logger.info("Key Vault health probe disabled");
+            return;
+        }
+        tokenSchedule = taskScheduler.scheduleWithFixedDelay(this::probeToken, settings.getTokenProbeInterval());
+        schedule = taskScheduler.scheduleWithFixedDelay(this::probe, settings.getProbeInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tokenSchedule != null) {
+            tokenSchedule.cancel(false);
+        }
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+    }
+
+    void probeToken() {
+        long start = System.nanoTime();
+        try {
+            keyVaultClient.requestFreshToken();
+            lastTokenCheck = new TokenCheck(elapsedMillis(start), false);
+        } catch (Exception e) {
+            TokenCheck previous = lastTokenCheck;
+            lastTokenCheck = new TokenCheck(elapsedMillis(start), true);
+            if (previous == null || !previous.failed()) {
+                logger.warn("AAD token request failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    void probe() {
+        TokenCheck tokenCheck = lastTokenCheck;
+        long tokenMillis = tokenCheck != null ? tokenCheck.latencyMs() : -1;
+
+        long vaultStart = System.nanoTime();
+        try {
+            keyVaultClient.probeVault(settings.getProbeSecretName());
+        } catch (HttpResponseException e) {
+            long vaultMillis = elapsedMillis(vaultStart);
+            if (e instanceof ClientAuthenticationException) {
+                record(ProbeStatus.DOWN, tokenMillis, vaultMillis, "Key Vault rejected credentials", e);
+            } else if (e.getResponse() != null && e.getResponse().getStatusCode() == THROTTLED_STATUS) {
+                record(ProbeStatus.DEGRADED, tokenMillis, vaultMillis, "Key Vault is throttling requests", e);
+            } else {
+                record(ProbeStatus.DOWN, tokenMillis, vaultMillis, "Key Vault probe failed", e);
+            }
+            return;
+        } catch (Exception e) {
+            record(ProbeStatus.DOWN, tokenMillis, elapsedMillis(vaultStart), "Key Vault unreachable", e);
+            return;
+        }
+        long vaultMillis = elapsedMillis(vaultStart);
+
+        long degradedMillis = settings.getDegradedLatency().toMillis();
+        if (tokenCheck != null && tokenCheck.failed()) {
+            record(ProbeStatus.DEGRADED, tokenMillis, vaultMillis, "Token acquisition failed; using cached token", null);
+        } else if (tokenMillis > degradedMillis || vaultMillis > degradedMillis) {
+            record(ProbeStatus.DEGRADED, tokenMillis, vaultMillis, "Upstream latency above threshold", null);
+        } else {
+            record(ProbeStatus.UP, tokenMillis, vaultMillis, null, null);
+        }
+    }
+
+    /**
+     * Returns the last probe result. {@link ProbeStatus#UNKNOWN} is only reported before the first
+     * probe completes; a result older than three probe intervals is reported as
+     * {@link ProbeStatus#DOWN}, since the probe itself has evidently stalled and an old UP must not
+     * keep the instance ready.
+     */
+    public ProbeResult getLastResult() {
+        ProbeResult result = lastResult;
+        if (result.checkedAt() != null
+                && Duration.between(result.checkedAt(), Instant.now()).compareTo(settings.getProbeInterval().multipliedBy(3)) > 0) {
+            return new ProbeResult(ProbeStatus.DOWN, result.tokenLatencyMs(), result.vaultLatencyMs(),
+                    result.checkedAt(), "Last probe result is stale");
+        }
+        return result;
+    }
+
+    /**
+     * Stores the result with a fixed reason string only; upstream exception messages are logged
+     * here rather than exposed through the health endpoints.
+     */
+    private void record(ProbeStatus status, long tokenMillis, long vaultMillis, String reason, Exception cause) {
+        ProbeResult previous = lastResult;
+        lastResult = new ProbeResult(status, tokenMillis, vaultMillis, Instant.now(), reason);
+        if (previous.status() != status) {
+            if (status == ProbeStatus.UP) {
+                logger.info("Key Vault health changed from {} to {}", previous.status(), status);
+            } else {
+                logger.warn("Key Vault health changed from {} to {}: {}{}", previous.status(), status, reason,
+                        cause != null ? " (" + cause.getMessage() + ")" : "");
+            }
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private record TokenCheck(long latencyMs, boolean failed) {
+    }
+
+    public enum ProbeStatus {
+        UP,
+        DEGRADED,
+        DOWN,
+        UNKNOWN
+    }
+
+    public record ProbeResult(ProbeStatus status, long tokenLatencyMs, long vaultLatencyMs, Instant checkedAt, String error) {
+
+        static ProbeResult unknown() {
+            return new ProbeResult(ProbeStatus.UNKNOWN, -1, -1, null, "No probe has completed yet");
+        }
+    }
+}
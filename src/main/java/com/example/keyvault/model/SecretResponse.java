@@ -10,9 +10,12 @@ public class SecretResponse {
     @Schema(description = "Name of the secret", example = "database-password")
     private String name;
     
-    @Schema(description = "Value of the secret (only present on successful retrieval)", example = "mySecretValue123")
+    @Schema(description = "Value of the secret (present on successful retrieval and rotation)", example = "mySecretValue123")
     private String value;
     
+    @Schema(description = "Version of the secret (present after set and rotate operations)", example = "5d1d4a8e2f0b4c6e9a7b3c2d1e0f9a8b")
+    private String version;
+    
     @Schema(description = "Timestamp when the secret was retrieved", example = "2024-01-15T10:30:00")
     private LocalDateTime retrievedAt;
     
@@ -35,6 +38,21 @@ public class SecretResponse {
         return response;
     }
 
+    public static SecretResponse success(String name, String value, String version) {
+        SecretResponse response = success(name, value);
+        response.version = version;
+        return response;
+    }
+
+    public static SecretResponse updated(String name, String version) {
+        SecretResponse response = new SecretResponse();
+        response.name = name;
+        response.version = version;
+        response.retrievedAt = LocalDateTime.now();
+        response.success = true;
+        return response;
+    }
+
     public static SecretResponse error(String name, String errorMessage) {
         SecretResponse response = new SecretResponse();
         response.name = name;
@@ -61,6 +79,14 @@ public class SecretResponse {
         this.value = value;
     }
 
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
     public LocalDateTime getRetrievedAt() {
         return retrievedAt;
     }
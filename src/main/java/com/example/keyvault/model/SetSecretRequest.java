@@ -0,0 +1,24 @@
+package com.example.keyvault.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Request model for setting a secret value")
+public class SetSecretRequest {
+
+    @Schema(description = "New value of the secret", example = "myNewSecretValue456", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank(message = "Secret value is required")
+    private String value;
+
+    public SetSecretRequest() {
+    }
+
+    // Getters and setters
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.keyvault.service;
+
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limit for calls to Key Vault using additive-increase/multiplicative-decrease.
+ * The limit grows by roughly one per limit's worth of fast calls while it is being used, and is cut
+ * by the backoff ratio whenever a call is slower than the latency threshold or fails upstream.
+ * Callers that cannot acquire a permit are expected to be rejected immediately rather than queued.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final AzureKeyVaultProperties.Admission settings;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(AzureKeyVaultProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getAdmission();
+        this.latencyThresholdNanos = settings.getLatencyThreshold().toNanos();
+        this.limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), settings.getInitialLimit()));
+
+        Gauge.builder("keyvault.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for Key Vault calls")
+                .register(meterRegistry);
+        Gauge.builder("keyvault.admission.inflight", inFlight, AtomicInteger::get)
+                .description("Key Vault calls currently in flight")
+                .register(meterRegistry);
+        FunctionCounter.builder("keyvault.admission.rejected", rejected, AtomicLong::get)
+                .description("Requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+
+        logger.info("Key Vault admission control {} with initial limit {}",
+                settings.isEnabled() ? "enabled" : "disabled", getLimit());
+    }
+
+    public boolean tryAcquire() {
+        if (!settings.isEnabled()) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and feeds the observed call into the limit.
+     *
+     * @param latencyNanos time spent in the upstream call
+     * @param overloaded   whether the call failed in a way that indicates upstream pressure
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            if (overloaded || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+            } else if (inFlightAtCompletion * 2 >= limit) {
+                // Only grow while the limit is actually being exercised
+                limit = Math.min(settings.getMaxLimit(), limit + 1.0 / limit);
+            }
+        }
+    }
+
+    /**
+     * Releases a permit without feeding the call into the limit, for calls whose latency is not
+     * representative of Key Vault (for example ones that also fetch a fresh AAD token).
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, settings.getRetryAfter().toSeconds());
+    }
+}
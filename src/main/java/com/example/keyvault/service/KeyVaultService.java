@@ -1,6 +1,7 @@
 package com.example.keyvault.service;
 
 import com.azure.core.exception.ClientAuthenticationException;
+import com.azure.core.exception.HttpResponseException;
 import com.azure.core.exception.ResourceNotFoundException;
 import com.azure.identity.ClientSecretCredential;
 import com.azure.identity.ClientSecretCredentialBuilder;
@@ -9,24 +10,51 @@ import com.azure.security.keyvault.secrets.SecretClientBuilder;
 import com.azure.security.keyvault.secrets.models.KeyVaultSecret;
 import com.example.keyvault.client.AzureKeyVaultClient;
 import com.example.keyvault.exception.AuthenticationFailedException;
+import com.example.keyvault.exception.KeyVaultException;
 import com.example.keyvault.exception.SecretNotFoundException;
 import com.example.keyvault.exception.SecretRetrievalException;
+import com.example.keyvault.exception.ServiceOverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
 @Service
 public class KeyVaultService {
 
     private static final Logger logger = LoggerFactory.getLogger(KeyVaultService.class);
+
+    private static final int ROTATED_SECRET_BYTES = 32;
+
+    private static final int TOO_MANY_REQUESTS = 429;
     
     private final AzureKeyVaultClient keyVaultClient;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final SecretCache secretCache;
+    private final SecretWriteCoalescer writeCoalescer;
+    private final SecureRandom secureRandom = new SecureRandom();
 
-    public KeyVaultService(AzureKeyVaultClient keyVaultClient) {
+    public KeyVaultService(AzureKeyVaultClient keyVaultClient, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           SecretCache secretCache, SecretWriteCoalescer writeCoalescer) {
         this.keyVaultClient = keyVaultClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.secretCache = secretCache;
+        this.writeCoalescer = writeCoalescer;
     }
 
     public String getSecretV0(String secretName) {
+        // V0 builds a fresh credential per call, so its latency includes an AAD round trip and must
+        // not drive the shared limit
+        return callWithAdmission(secretName, () -> fetchSecretV0(secretName), false);
+    }
+
+    private String fetchSecretV0(String secretName) {
         logger.debug("Retrieving secret: {}", secretName);
         
         try {
@@ -34,11 +62,13 @@ public class KeyVaultService {
                     .clientId(keyVaultClient.getProperties().getClientId())
                     .clientSecret(keyVaultClient.getProperties().getClientSecret())
                     .tenantId(keyVaultClient.getProperties().getTenantId())
+                    .httpClient(keyVaultClient.getHttpClient())
                     .build();
 
             SecretClient secretClient = new SecretClientBuilder()
                     .vaultUrl(keyVaultClient.getProperties().getVaultUrl())
                     .credential(credential)
+                    .httpClient(keyVaultClient.getHttpClient())
                     .buildClient();
             
             KeyVaultSecret secret = secretClient.getSecret(secretName);
@@ -72,17 +102,122 @@ public class KeyVaultService {
         }
     }
 
-    public String retrieveSecret(String secretName) throws SecretRetrievalException {
-        logger.info("Retrieving secret from Key Vault: {}", secretName);
+    /**
+     * Returns the secret value together with its version, from the local cache when possible.
+     */
+    public SecretCache.CachedSecret lookupSecret(String secretName) throws SecretRetrievalException {
+        logger.debug("Retrieving secret from Key Vault: {}", secretName);
+        
+        SecretCache.CachedSecret cached = secretCache.get(secretName);
+        if (cached != null) {
+            logger.debug("Serving secret {} (version {}) from cache", secretName, cached.version());
+            return cached;
+        }
         
         try {
-            String secretValue = keyVaultClient.getSecret(secretName);
-            logger.info("Successfully retrieved secret: {}", secretName);
-            return secretValue;
+            long readStartedAt = System.nanoTime();
+            KeyVaultSecret secret = callWithAdmission(secretName, () -> keyVaultClient.fetchSecret(secretName), true);
+            String version = secret.getProperties().getVersion();
+            secretCache.putFromRead(secretName, secret.getValue(), version, readStartedAt);
+            logger.debug("Successfully retrieved secret: {}", secretName);
+            return new SecretCache.CachedSecret(secret.getValue(), version, readStartedAt);
+            
+        } catch (ServiceOverloadedException e) {
+            throw e;
             
         } catch (Exception e) {
             logger.error("Failed to retrieve secret: {}", secretName, e);
             throw e; // Re-throw the specific exception from the client
         }
     }
+
+    /**
+     * Writes a new version of a secret and updates the local cache with it. Concurrent writes to
+     * the same name are coalesced, so the last value submitted while a write is in flight wins.
+     */
+    public KeyVaultSecret setSecret(String secretName, String value) {
+        logger.debug("Setting secret in Key Vault: {}", secretName);
+        
+        KeyVaultSecret secret = writeCoalescer.write(secretName, value, this::writeThrough);
+        logger.debug("Successfully set secret: {} (version {})", secretName, secret.getProperties().getVersion());
+        return secret;
+    }
+
+    /**
+     * Writes a freshly generated value as a new version. Rotations are never coalesced with other
+     * writes, so the returned value is always the one that was stored.
+     */
+    public KeyVaultSecret rotateSecret(String secretName) {
+        logger.debug("Rotating secret: {}", secretName);
+        
+        byte[] bytes = new byte[ROTATED_SECRET_BYTES];
+        secureRandom.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        KeyVaultSecret secret = writeCoalescer.writeExclusive(secretName, value, this::writeThrough);
+        logger.debug("Successfully rotated secret: {} (version {})", secretName, secret.getProperties().getVersion());
+        return secret;
+    }
+
+    private KeyVaultSecret writeThrough(String secretName, String value) {
+        try {
+            KeyVaultSecret secret = callWithAdmission(secretName, () -> keyVaultClient.setSecret(secretName, value), true);
+            secretCache.putFromWrite(secretName, secret.getValue(), secret.getProperties().getVersion());
+            return secret;
+            
+        } catch (ServiceOverloadedException e) {
+            // Shed before anything was sent upstream, so the cached value is still current
+            throw e;
+        } catch (RuntimeException e) {
+            // The vault may or may not hold the new value; let the next read go upstream
+            secretCache.evict(secretName);
+            throw e;
+        }
+    }
+
+    private <T> T callWithAdmission(String secretName, Supplier<T> vaultCall, boolean sampleLatency) {
+        if (!concurrencyLimiter.tryAcquire()) {
+            logger.debug("Shedding request for secret {}: concurrency limit {} reached", secretName, concurrencyLimiter.getLimit());
+            throw new ServiceOverloadedException(
+                "Key Vault concurrency limit reached",
+                secretName,
+                concurrencyLimiter.getRetryAfterSeconds()
+            );
+        }
+
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return vaultCall.get();
+        } catch (KeyVaultException e) {
+            overloaded = isUpstreamPressure(e);
+            throw e;
+        } finally {
+            if (sampleLatency) {
+                concurrencyLimiter.release(System.nanoTime() - start, overloaded);
+            } else {
+                concurrencyLimiter.releaseWithoutSample();
+            }
+        }
+    }
+
+    /**
+     * Only throttling, server errors, timeouts and I/O failures indicate that Key Vault is under
+     * pressure. Client errors (bad name, missing permission) are caused by the request itself and
+     * must not shrink the limit, or any caller could drive it down with invalid requests.
+     */
+    private static boolean isUpstreamPressure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpResponseException httpError) {
+                if (httpError.getResponse() == null) {
+                    return false;
+                }
+                int status = httpError.getResponse().getStatusCode();
+                return status == TOO_MANY_REQUESTS || status >= 500;
+            }
+            if (cause instanceof TimeoutException || cause instanceof IOException || cause instanceof UncheckedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
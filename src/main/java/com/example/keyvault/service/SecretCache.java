@@ -0,0 +1,97 @@
+package com.example.keyvault.service;
+
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local cache of secret values. Reads populate it on a miss; writes update it through with the
+ * version returned by Key Vault. A read that started before a write completed never overwrites
+ * the written entry, so callers always see their own writes without another round trip.
+ * <p>
+ * Writes made outside this instance (other replicas, tooling writing to the vault directly,
+ * disabling or deleting a secret) are only observed once the entry expires, so the TTL bounds
+ * how stale a read can be and is kept short by default.
+ */
+@Component
+public class SecretCache {
+
+    private final AzureKeyVaultProperties.Cache settings;
+    private final long ttlNanos;
+    private final Map<String, CachedSecret> entries = new ConcurrentHashMap<>();
+
+    public SecretCache(AzureKeyVaultProperties properties) {
+        this.settings = properties.getCache();
+        this.ttlNanos = settings.getTtl().toNanos();
+    }
+
+    public CachedSecret get(String secretName) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        CachedSecret cached = entries.get(secretName);
+        if (cached == null) {
+            return null;
+        }
+        if (System.nanoTime() - cached.storedAt() > ttlNanos) {
+            entries.remove(secretName, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Stores a value obtained by a read that was issued at {@code readStartedAt} (a {@link System#nanoTime()}
+     * timestamp). The value is dropped if a newer entry, e.g. from a write, was stored in the meantime.
+     */
+    public void putFromRead(String secretName, String value, String version, long readStartedAt) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        makeRoom();
+        CachedSecret fresh = new CachedSecret(value, version, readStartedAt);
+        entries.merge(secretName, fresh, (existing, candidate) ->
+                existing.storedAt() - candidate.storedAt() > 0 ? existing : candidate);
+    }
+
+    public void putFromWrite(String secretName, String value, String version) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        makeRoom();
+        entries.put(secretName, new CachedSecret(value, version, System.nanoTime()));
+    }
+
+    public void evict(String secretName) {
+        entries.remove(secretName);
+    }
+
+    private void makeRoom() {
+        if (entries.size() < settings.getMaxEntries()) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(cached -> now - cached.storedAt() > ttlNanos);
+        if (entries.size() >= settings.getMaxEntries()) {
+            evictOldest();
+        }
+    }
+
+    // Drop a single entry rather than the whole cache so a full cache never turns into a miss storm
+    private void evictOldest() {
+        Map.Entry<String, CachedSecret> oldest = null;
+        for (Map.Entry<String, CachedSecret> entry : entries.entrySet()) {
+            if (oldest == null || entry.getValue().storedAt() - oldest.getValue().storedAt() < 0) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    public record CachedSecret(String value, String version, long storedAt) {
+    }
+}
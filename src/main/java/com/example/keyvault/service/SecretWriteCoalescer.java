@@ -0,0 +1,162 @@
+package com.example.keyvault.service;
+
+import com.azure.security.keyvault.secrets.models.KeyVaultSecret;
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import com.example.keyvault.exception.ServiceOverloadedException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * Coalesces rapid successive writes to the same secret. At most one write per name is in flight;
+ * writes arriving meanwhile join a single pending batch in which the last value wins, and every
+ * caller in the batch receives the version produced by that one write.
+ *
+ * <p>A batch waits at most {@code write-wait-timeout} for the write ahead of it. If that write is
+ * still running, the batch is failed with {@link ServiceOverloadedException} without being sent,
+ * so a hung upstream call cannot pile up request threads behind it.
+ */
+@Component
+public class SecretWriteCoalescer {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final long waitTimeoutNanos;
+    private final long retryAfterSeconds;
+
+    public SecretWriteCoalescer(AzureKeyVaultProperties properties) {
+        AzureKeyVaultProperties.Admission admission = properties.getAdmission();
+        this.waitTimeoutNanos = admission.getWriteWaitTimeout().toNanos();
+        this.retryAfterSeconds = Math.max(1, admission.getRetryAfter().toSeconds());
+    }
+
+    public KeyVaultSecret write(String secretName, String value, BiFunction<String, String, KeyVaultSecret> writer) {
+        return submit(secretName, value, writer, true);
+    }
+
+    /**
+     * Writes {@code value} in a batch of its own, ordered after any write already submitted for the
+     * name. The value is never replaced by a concurrent write, and later writes cannot join an
+     * earlier batch and overtake it.
+     */
+    public KeyVaultSecret writeExclusive(String secretName, String value, BiFunction<String, String, KeyVaultSecret> writer) {
+        return submit(secretName, value, writer, false);
+    }
+
+    private KeyVaultSecret submit(String secretName, String value, BiFunction<String, String, KeyVaultSecret> writer,
+                                  boolean coalesce) {
+        Batch[] assigned = new Batch[1];
+        CompletableFuture<?>[] previous = new CompletableFuture<?>[1];
+        boolean[] created = new boolean[1];
+
+        slots.compute(secretName, (name, slot) -> {
+            if (slot == null) {
+                slot = new Slot();
+            }
+            if (coalesce && slot.open != null) {
+                slot.open.value = value;
+                assigned[0] = slot.open;
+                return slot;
+            }
+            Batch batch = new Batch(value);
+            previous[0] = slot.tail;
+            // A batch only counts as settled once everything before it has finished as well, so a
+            // batch that gave up waiting does not let its successors overtake the write it skipped
+            batch.settled = previous[0] == null
+                    ? batch.result.handle((result, error) -> null)
+                    : CompletableFuture.allOf(previous[0], batch.result).handle((result, error) -> null);
+            slot.tail = batch.settled;
+            slot.open = null;
+            if (coalesce && previous[0] != null && !previous[0].isDone()) {
+                // Another write is in flight; later arrivals fold into this batch until it starts
+                slot.open = batch;
+            }
+            created[0] = true;
+            assigned[0] = batch;
+            return slot;
+        });
+
+        Batch batch = assigned[0];
+        if (created[0]) {
+            batch.settled.thenRun(() -> slots.computeIfPresent(secretName, (name, slot) ->
+                    slot.tail == batch.settled && slot.open == null ? null : slot));
+            execute(secretName, batch, previous[0], writer);
+        }
+        return await(batch.result);
+    }
+
+    private void execute(String secretName, Batch batch, CompletableFuture<?> previous,
+                         BiFunction<String, String, KeyVaultSecret> writer) {
+        boolean ready = previous == null || awaitPrevious(previous);
+
+        String[] finalValue = new String[1];
+        slots.computeIfPresent(secretName, (name, slot) -> {
+            if (slot.open == batch) {
+                slot.open = null;
+            }
+            finalValue[0] = batch.value;
+            return slot;
+        });
+
+        if (!ready) {
+            batch.result.completeExceptionally(new ServiceOverloadedException(
+                    "Timed out waiting for an earlier write to the same secret", secretName, retryAfterSeconds));
+            return;
+        }
+        try {
+            batch.result.complete(writer.apply(secretName, finalValue[0]));
+        } catch (Throwable e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private boolean awaitPrevious(CompletableFuture<?> previous) {
+        try {
+            previous.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // Settled futures never complete exceptionally
+            return true;
+        }
+    }
+
+    private KeyVaultSecret await(CompletableFuture<KeyVaultSecret> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Slot {
+        private CompletableFuture<?> tail;
+        private Batch open;
+    }
+
+    private static final class Batch {
+        private final CompletableFuture<KeyVaultSecret> result = new CompletableFuture<>();
+        private CompletableFuture<?> settled;
+        private volatile String value;
+
+        private Batch(String value) {
+            this.value = value;
+        }
+    }
+}
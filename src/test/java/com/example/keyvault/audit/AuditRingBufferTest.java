@@ -0,0 +1,142 @@
+package com.example.keyvault.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertThat(new AuditRingBuffer(8).capacity()).isEqualTo(8);
+        assertThat(new AuditRingBuffer(9).capacity()).isEqualTo(16);
+        assertThat(new AuditRingBuffer(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void drainsEventsInPublicationOrderAcrossWrapAround() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        List<String> drained = new ArrayList<>();
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(publish(ringBuffer, "s" + (round * 3 + i))).isTrue();
+            }
+            ringBuffer.drain(10, event -> drained.add(event.secretName));
+        }
+
+        assertThat(drained).hasSize(15);
+        for (int i = 0; i < 15; i++) {
+            assertThat(drained.get(i)).isEqualTo("s" + i);
+        }
+        assertThat(ringBuffer.publishedCount()).isEqualTo(15);
+        assertThat(ringBuffer.droppedCount()).isZero();
+        assertThat(ringBuffer.backlog()).isZero();
+    }
+
+    @Test
+    void dropsAndCountsEventsWhenFull() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(publish(ringBuffer, "s" + i)).isTrue();
+        }
+        assertThat(publish(ringBuffer, "overflow-1")).isFalse();
+        assertThat(publish(ringBuffer, "overflow-2")).isFalse();
+
+        assertThat(ringBuffer.droppedCount()).isEqualTo(2);
+        assertThat(ringBuffer.publishedCount()).isEqualTo(4);
+        assertThat(ringBuffer.backlog()).isEqualTo(4);
+
+        // Draining frees slots for new events
+        assertThat(ringBuffer.drain(2, event -> { })).isEqualTo(2);
+        assertThat(publish(ringBuffer, "s4")).isTrue();
+        assertThat(ringBuffer.backlog()).isEqualTo(3);
+    }
+
+    @Test
+    void drainHonoursTheBatchLimitAndReleasesSlots() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(8);
+        for (int i = 0; i < 6; i++) {
+            publish(ringBuffer, "s" + i);
+        }
+
+        List<AuditEvent> seen = new ArrayList<>();
+        assertThat(ringBuffer.drain(4, seen::add)).isEqualTo(4);
+        assertThat(ringBuffer.backlog()).isEqualTo(2);
+        assertThat(seen).allSatisfy(event -> assertThat(event.secretName).isNull());
+    }
+
+    @Test
+    void discardAllReleasesPublishedEventsAndCountsThemAsDropped() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 3; i++) {
+            publish(ringBuffer, "s" + i);
+        }
+
+        assertThat(ringBuffer.discardAll()).isEqualTo(3);
+        assertThat(ringBuffer.droppedCount()).isEqualTo(3);
+        assertThat(ringBuffer.backlog()).isZero();
+        assertThat(publish(ringBuffer, "s3")).isTrue();
+    }
+
+    @Test
+    void concurrentProducersNeverLoseOrReorderAcceptedEvents() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String caller = String.valueOf(p);
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ringBuffer.tryPublish(i, caller, AuditAction.READ, "s", null, AuditOutcome.SUCCESS, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        boolean[] ordered = {true};
+        long total = 0;
+        while (total < (long) producers * perProducer) {
+            total += ringBuffer.drain(32, event -> {
+                int producer = Integer.parseInt(event.caller);
+                ordered[0] &= event.latencyNanos == lastSeen[producer] + 1;
+                lastSeen[producer] = event.latencyNanos;
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ordered[0]).isTrue();
+        assertThat(ringBuffer.publishedCount()).isEqualTo((long) producers * perProducer);
+        assertThat(ringBuffer.backlog()).isZero();
+    }
+
+    private static boolean publish(AuditRingBuffer ringBuffer, String secretName) {
+        return ringBuffer.tryPublish(0L, "127.0.0.1", AuditAction.READ, secretName, "v1", AuditOutcome.SUCCESS, 1_000L);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.keyvault.service;
+
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    @Test
+    void rejectsOnceTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 2, 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void slowOrOverloadedCallsShrinkTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 20);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void fastCallsUnderLoadRecoverTheLimitUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 12);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        for (int round = 0; round < 500; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(FAST, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void fastCallsWithoutLoadDoNotGrowTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 20);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void unsampledReleaseFreesThePermitWithoutMovingTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.releaseWithoutSample();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void admitsEverythingWhenDisabled() {
+        AzureKeyVaultProperties properties = properties(1, 1, 1);
+        properties.getAdmission().setEnabled(false);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(properties(initialLimit, minLimit, maxLimit), new SimpleMeterRegistry());
+    }
+
+    private static AzureKeyVaultProperties properties(int initialLimit, int minLimit, int maxLimit) {
+        AzureKeyVaultProperties properties = new AzureKeyVaultProperties();
+        AzureKeyVaultProperties.Admission admission = properties.getAdmission();
+        admission.setInitialLimit(initialLimit);
+        admission.setMinLimit(minLimit);
+        admission.setMaxLimit(maxLimit);
+        admission.setLatencyThreshold(Duration.ofMillis(500));
+        admission.setBackoffRatio(0.9);
+        return properties;
+    }
+}
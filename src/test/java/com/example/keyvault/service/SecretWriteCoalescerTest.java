@@ -0,0 +1,150 @@
+package com.example.keyvault.service;
+
+import com.azure.security.keyvault.secrets.models.KeyVaultSecret;
+import com.example.keyvault.config.AzureKeyVaultProperties;
+import com.example.keyvault.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SecretWriteCoalescerTest {
+
+    private static final String NAME = "db-password";
+
+    private final SecretWriteCoalescer coalescer = new SecretWriteCoalescer(properties(Duration.ofSeconds(5)));
+    private final List<String> writtenValues = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+    // Records every value sent upstream; the first call blocks until released
+    private final BiFunction<String, String, KeyVaultSecret> writer = (name, value) -> {
+        boolean first = writtenValues.isEmpty();
+        writtenValues.add(value);
+        if (first) {
+            firstWriteStarted.countDown();
+            await(releaseFirstWrite);
+        }
+        return new KeyVaultSecret(name, value);
+    };
+
+    @Test
+    void writeWithoutContentionGoesStraightThrough() {
+        releaseFirstWrite.countDown();
+
+        KeyVaultSecret secret = coalescer.write(NAME, "v1", writer);
+
+        assertThat(secret.getValue()).isEqualTo("v1");
+        assertThat(writtenValues).containsExactly("v1");
+    }
+
+    @Test
+    void writesArrivingDuringAnInFlightWriteAreCoalescedAndLastValueWins() throws Exception {
+        Future<KeyVaultSecret> first = submit("v0", false);
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<KeyVaultSecret>> followers = new ArrayList<>();
+        for (String value : List.of("v1", "v2", "v3")) {
+            followers.add(submit(value, false));
+        }
+        releaseFirstWrite.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("v0");
+        for (Future<KeyVaultSecret> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("v3");
+        }
+        assertThat(writtenValues).containsExactly("v0", "v3");
+    }
+
+    @Test
+    void exclusiveWriteIsNeitherReplacedNorOvertaken() throws Exception {
+        Future<KeyVaultSecret> first = submit("v0", false);
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<KeyVaultSecret> before = submit("v1", false);
+        Future<KeyVaultSecret> rotation = submit("rotated", true);
+        Future<KeyVaultSecret> after = submit("v2", false);
+        releaseFirstWrite.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("v0");
+        assertThat(before.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("v1");
+        assertThat(rotation.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("rotated");
+        assertThat(after.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("v2");
+        assertThat(writtenValues).containsExactly("v0", "v1", "rotated", "v2");
+    }
+
+    @Test
+    void failedWriteIsReportedToItsCallerAndDoesNotBlockLaterWrites() {
+        releaseFirstWrite.countDown();
+
+        assertThatThrownBy(() -> coalescer.write(NAME, "bad", (name, value) -> {
+            throw new IllegalStateException("upstream failure");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("upstream failure");
+
+        assertThat(coalescer.write(NAME, "good", writer).getValue()).isEqualTo("good");
+    }
+
+    @Test
+    void writesQueuedBehindAHungWriteAreShedWithoutBeingSent() throws Exception {
+        SecretWriteCoalescer impatient = new SecretWriteCoalescer(properties(Duration.ofMillis(100)));
+        FutureTask<KeyVaultSecret> first = new FutureTask<>(() -> impatient.write(NAME, "v0", writer));
+        Thread caller = new Thread(first, "writer-v0");
+        caller.setDaemon(true);
+        caller.start();
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> impatient.write(NAME, "v1", writer))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> impatient.writeExclusive(NAME, "rotated", writer))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        releaseFirstWrite.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getValue()).isEqualTo("v0");
+        assertThat(impatient.write(NAME, "v2", writer).getValue()).isEqualTo("v2");
+        assertThat(writtenValues).containsExactly("v0", "v2");
+    }
+
+    /**
+     * Starts a writing caller and waits until it is parked on its batch, so that callers arrive in
+     * a deterministic order.
+     */
+    private Future<KeyVaultSecret> submit(String value, boolean exclusive) throws InterruptedException {
+        FutureTask<KeyVaultSecret> task = new FutureTask<>(() -> exclusive
+                ? coalescer.writeExclusive(NAME, value, writer)
+                : coalescer.write(NAME, value, writer));
+        Thread caller = new Thread(task, "writer-" + value);
+        caller.setDaemon(true);
+        caller.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!task.isDone() && caller.getState() != Thread.State.WAITING
+                && caller.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return task;
+    }
+
+    private static AzureKeyVaultProperties properties(Duration writeWaitTimeout) {
+        AzureKeyVaultProperties properties = new AzureKeyVaultProperties();
+        properties.getAdmission().setWriteWaitTimeout(writeWaitTimeout);
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}